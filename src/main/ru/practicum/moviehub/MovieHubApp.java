@@ -1,12 +1,13 @@
 package ru.practicum.moviehub;
 
 import ru.practicum.moviehub.http.MoviesServer;
-import ru.practicum.moviehub.store.MoviesStore;
+import ru.practicum.moviehub.store.InMemoryMoviesStore;
 
 public class MovieHubApp {
     public static void main(String[] args) {
-        final MoviesServer server = new MoviesServer(new MoviesStore(), 8080);
+        final MoviesServer server = new MoviesServer(new InMemoryMoviesStore(), 8080);
         Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
-        server.start();
+        // Прогрев включается флагом -Dmoviehub.warmup=true
+        server.start(Boolean.getBoolean("moviehub.warmup"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ru.practicum.moviehub.api;
+
+public class HealthResponse {
+    private String status;
+
+    public HealthResponse(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
\ No newline at end of file
@@ -6,12 +6,36 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import ru.practicum.moviehub.api.ErrorResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public abstract class BaseHttpHandler implements HttpHandler {
     protected static final Gson GSON = new GsonBuilder().create();
+    public static final int DEFAULT_MAX_BODY_SIZE = 64 * 1024;
+
+    private static final int INITIAL_BODY_BUFFER_SIZE = 4 * 1024;
+    // Больше массив не выделить на большинстве JVM
+    private static final int MAX_BODY_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    // Буфер для тела запроса переиспользуется между запросами одного потока
+    private static final ThreadLocal<byte[]> BODY_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[INITIAL_BODY_BUFFER_SIZE]);
+
+    private final int maxBodySize;
+
+    protected BaseHttpHandler() {
+        this(DEFAULT_MAX_BODY_SIZE);
+    }
+
+    protected BaseHttpHandler(int maxBodySize) {
+        if (maxBodySize <= 0) {
+            throw new IllegalArgumentException("Лимит тела запроса должен быть положительным");
+        }
+        this.maxBodySize = maxBodySize;
+    }
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
@@ -30,6 +54,14 @@ public abstract class BaseHttpHandler implements HttpHandler {
                     ErrorResponse error = new ErrorResponse("Метод не поддерживается");
                     sendResponse(exchange, 405, GSON.toJson(error));
             }
+        } catch (ResponseAbortedException e) {
+            // Заголовки уже отправлены, ответить 500 нельзя: исключение, вышедшее из обработчика,
+            // заставляет сервер оборвать соединение, и клиент видит незавершённый ответ
+            e.printStackTrace();
+            throw e;
+        } catch (RequestBodyTooLargeException e) {
+            ErrorResponse error = new ErrorResponse("Слишком большое тело запроса");
+            sendResponse(exchange, 413, GSON.toJson(error));
         } catch (Exception e) {
             e.printStackTrace();
             ErrorResponse error = new ErrorResponse("Внутренняя ошибка сервера");
@@ -49,6 +81,78 @@ public abstract class BaseHttpHandler implements HttpHandler {
         sendResponse(exchange, 405, GSON.toJson(error));
     }
 
+    // Читает тело запроса целиком, но не больше maxBodySize байт.
+    // Возвращаемый поток работает поверх общего буфера потока и должен быть прочитан
+    // до следующего вызова readBody в этом же потоке.
+    protected InputStream readBody(HttpExchange exchange) throws IOException {
+        long contentLength = getContentLength(exchange);
+        if (contentLength > maxBodySize) {
+            throw new RequestBodyTooLargeException();
+        }
+
+        // Читаем не больше maxBodySize + 1 байт: лишнего байта достаточно, чтобы понять, что тело
+        // превышает лимит, даже если общий буфер потока больше лимита (тело без Content-Length)
+        int cap = (int) Math.min((long) maxBodySize + 1, MAX_BODY_BUFFER_SIZE);
+
+        // Место под тело и под чтение конца потока, чтобы заполненный буфер не пришлось расширять ради -1
+        byte[] buffer = BODY_BUFFER.get();
+        if (contentLength >= buffer.length) {
+            buffer = new byte[(int) Math.min(contentLength + 1, cap)];
+            BODY_BUFFER.set(buffer);
+        }
+
+        int length = 0;
+        try (InputStream is = exchange.getRequestBody()) {
+            while (true) {
+                int end = Math.min(buffer.length, cap);
+                if (length == end) {
+                    if (end == cap) {
+                        // Буфер заполнен до предела и больше не вырастет - тело не помещается
+                        throw new RequestBodyTooLargeException();
+                    }
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(cap, buffer.length * 2L));
+                    BODY_BUFFER.set(buffer);
+                    end = buffer.length;
+                }
+                int read = is.read(buffer, length, end - length);
+                if (read == -1) {
+                    break;
+                }
+                length += read;
+                if (length > maxBodySize) {
+                    throw new RequestBodyTooLargeException();
+                }
+            }
+        }
+        return new ByteArrayInputStream(buffer, 0, length);
+    }
+
+    private static long getContentLength(HttpExchange exchange) {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Значение параметра запроса или null, если параметра нет
+    protected static String getQueryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        String prefix = name + "=";
+        for (String param : query.split("&")) {
+            if (param.startsWith(prefix)) {
+                return param.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
     protected void sendResponse(HttpExchange exchange, int statusCode, String response) throws IOException {
         exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
         byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
@@ -59,6 +163,9 @@ public abstract class BaseHttpHandler implements HttpHandler {
     }
 
     protected void sendResponse(HttpExchange exchange, int statusCode) throws IOException {
+        // Дочитываем тело запроса до ответа без тела: иначе сервер закроет keep-alive соединение,
+        // и клиент, успевший переиспользовать его, получит обрыв
+        exchange.getRequestBody().close();
         exchange.sendResponseHeaders(statusCode, -1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import ru.practicum.moviehub.api.ErrorResponse;
+import ru.practicum.moviehub.api.HealthResponse;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+public class HealthHandler extends BaseHttpHandler {
+    private final BooleanSupplier ready;
+
+    public HealthHandler(BooleanSupplier ready) {
+        this.ready = ready;
+    }
+
+    @Override
+    protected void handleGet(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+
+        switch (path) {
+            case "/health/live":
+                // Процесс жив, пока отвечает на запросы
+                sendResponse(exchange, 200, GSON.toJson(new HealthResponse("UP")));
+                break;
+            case "/health/ready":
+                // Готов принимать трафик только после прогрева и до начала остановки
+                if (ready.getAsBoolean()) {
+                    sendResponse(exchange, 200, GSON.toJson(new HealthResponse("UP")));
+                } else {
+                    sendResponse(exchange, 503, GSON.toJson(new HealthResponse("DOWN")));
+                }
+                break;
+            default:
+                ErrorResponse error = new ErrorResponse("Не найдено");
+                sendResponse(exchange, 404, GSON.toJson(error));
+        }
+    }
+}
\ No newline at end of file
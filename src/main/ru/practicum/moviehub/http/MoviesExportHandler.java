@@ -0,0 +1,196 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import ru.practicum.moviehub.api.ErrorResponse;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.store.MoviesStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+public class MoviesExportHandler extends BaseHttpHandler {
+    private static final int CHUNK_SIZE = 1024;
+    private static final String CSV_HEADER = "id,title,year\n";
+
+    private final MoviesStore store;
+    private final ForkJoinPool pool;
+    // Выгрузка занимает поток сервера на всё время передачи, поэтому их число ограничено:
+    // медленные клиенты не должны занять все потоки и заблокировать остальные запросы
+    private final Semaphore exportSlots;
+
+    public MoviesExportHandler(MoviesStore store, int maxConcurrentExports) {
+        this(store, ForkJoinPool.commonPool(), maxConcurrentExports);
+    }
+
+    public MoviesExportHandler(MoviesStore store, ForkJoinPool pool, int maxConcurrentExports) {
+        this.store = store;
+        this.pool = pool;
+        this.exportSlots = new Semaphore(maxConcurrentExports);
+    }
+
+    @Override
+    protected void handleGet(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+
+        // Проверяем формат пути: /movies/export
+        if (!path.equals("/movies/export")) {
+            ErrorResponse error = new ErrorResponse("Не найдено");
+            sendResponse(exchange, 404, GSON.toJson(error));
+            return;
+        }
+
+        String query = exchange.getRequestURI().getQuery();
+
+        // Формат выгрузки: ndjson (по умолчанию) или csv
+        String format = getQueryParam(query, "format");
+        boolean csv;
+        if (format == null || format.equals("ndjson")) {
+            csv = false;
+        } else if (format.equals("csv")) {
+            csv = true;
+        } else {
+            ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'format'");
+            sendResponse(exchange, 400, GSON.toJson(error));
+            return;
+        }
+
+        // since-id позволяет продолжить прерванную выгрузку с последнего полученного ID
+        long sinceId = 0;
+        String sinceIdParam = getQueryParam(query, "since-id");
+        if (sinceIdParam != null) {
+            try {
+                sinceId = Long.parseLong(sinceIdParam);
+            } catch (NumberFormatException e) {
+                ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'since-id'");
+                sendResponse(exchange, 400, GSON.toJson(error));
+                return;
+            }
+        }
+
+        if (!exportSlots.tryAcquire()) {
+            ErrorResponse error = new ErrorResponse("Слишком много одновременных выгрузок");
+            sendResponse(exchange, 503, GSON.toJson(error));
+            return;
+        }
+        try {
+            export(exchange, sinceId, csv);
+        } finally {
+            exportSlots.release();
+        }
+    }
+
+    private void export(HttpExchange exchange, long sinceId, boolean csv) throws IOException {
+        // Берём снимок каталога на один момент времени
+        List<Movie> movies = store.getMoviesSinceId(sinceId);
+
+        boolean gzip = acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+
+        exchange.getResponseHeaders().set("Content-Type",
+                csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        // Длина заранее неизвестна - отвечаем chunked
+        exchange.sendResponseHeaders(200, 0);
+
+        // Поток закрываем только при успехе: close() отправил бы завершающий чанк,
+        // и клиент принял бы оборванную выгрузку за полную
+        OutputStream os = gzip ? new GZIPOutputStream(exchange.getResponseBody()) : exchange.getResponseBody();
+        try {
+            if (csv) {
+                os.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            writeChunks(os, movies, csv);
+        } catch (IOException | RuntimeException e) {
+            throw new ResponseAbortedException(e);
+        }
+        os.close();
+    }
+
+    // Кодируем чанки параллельно, но пишем их строго по порядку.
+    // Число одновременно закодированных чанков ограничено, чтобы не держать в памяти весь каталог.
+    private void writeChunks(OutputStream os, List<Movie> movies, boolean csv) throws IOException {
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<byte[]>> inFlight = new ArrayDeque<>();
+        try {
+            for (int from = 0; from < movies.size(); from += CHUNK_SIZE) {
+                List<Movie> chunk = movies.subList(from, Math.min(from + CHUNK_SIZE, movies.size()));
+                inFlight.addLast(pool.submit(() -> encodeChunk(chunk, csv)));
+                if (inFlight.size() >= maxInFlight) {
+                    os.write(inFlight.removeFirst().join());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                os.write(inFlight.removeFirst().join());
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private static byte[] encodeChunk(List<Movie> chunk, boolean csv) {
+        StringBuilder sb = new StringBuilder(chunk.size() * 64);
+        for (Movie movie : chunk) {
+            if (csv) {
+                sb.append(movie.getId()).append(',');
+                appendCsvValue(sb, movie.getTitle());
+                sb.append(',').append(movie.getYear()).append('\n');
+            } else {
+                sb.append(GSON.toJson(movie)).append('\n');
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // gzip принимается, если клиент перечислил его с ненулевым q; явный gzip важнее, чем *
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : anyQuality) > 0;
+    }
+
+    private static void appendCsvValue(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
\ No newline at end of file
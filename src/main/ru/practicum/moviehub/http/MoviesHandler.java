@@ -1,13 +1,16 @@
 package ru.practicum.moviehub.http;
 
+import com.google.gson.stream.JsonReader;
 import com.sun.net.httpserver.HttpExchange;
 import ru.practicum.moviehub.api.ErrorResponse;
 import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.store.MovieSort;
 import ru.practicum.moviehub.store.MoviesStore;
-import ru.practicum.moviehub.validation.MovieValidator;
+import ru.practicum.moviehub.validation.MovieJsonReader;
+import ru.practicum.moviehub.validation.ValidationException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -19,6 +22,11 @@ public class MoviesHandler extends BaseHttpHandler {
         this.store = store;
     }
 
+    public MoviesHandler(MoviesStore store, int maxBodySize) {
+        super(maxBodySize);
+        this.store = store;
+    }
+
     @Override
     protected void handleGet(HttpExchange exchange) throws IOException {
         String path = exchange.getRequestURI().getPath();
@@ -34,35 +42,67 @@ public class MoviesHandler extends BaseHttpHandler {
 
         // Получаем query параметры
         String query = exchange.getRequestURI().getQuery();
-        List<Movie> movies;
-
-        if (query != null && query.contains("year=")) {
-            // Извлекаем параметр year
-            String yearParam = null;
-            String[] queryParams = query.split("&");
-            for (String param : queryParams) {
-                if (param.startsWith("year=")) {
-                    yearParam = param.substring(5);
-                    break;
-                }
+
+        Integer year = null;
+        String yearParam = getQueryParam(query, "year");
+        if (yearParam != null) {
+            try {
+                year = Integer.parseInt(yearParam);
+            } catch (NumberFormatException e) {
+                ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'year'");
+                sendResponse(exchange, 400, GSON.toJson(error));
+                return;
             }
+        }
 
-            if (yearParam != null) {
-                try {
-                    int year = Integer.parseInt(yearParam);
-                    movies = store.getMoviesByYear(year);
-                } catch (NumberFormatException e) {
-                    ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'year'");
+        // Без sort фильмы возвращаются в порядке добавления, то есть по ID
+        MovieSort sort = MovieSort.ID;
+        String sortParam = getQueryParam(query, "sort");
+        if (sortParam != null) {
+            switch (sortParam) {
+                case "id":
+                    sort = MovieSort.ID;
+                    break;
+                case "title":
+                    sort = MovieSort.TITLE;
+                    break;
+                case "year":
+                    sort = MovieSort.YEAR;
+                    break;
+                default:
+                    ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'sort'");
                     sendResponse(exchange, 400, GSON.toJson(error));
                     return;
-                }
-            } else {
-                movies = store.getAllMovies();
             }
-        } else {
-            movies = store.getAllMovies();
         }
 
+        String orderParam = getQueryParam(query, "order");
+        if (orderParam != null && !orderParam.equals("asc") && !orderParam.equals("desc")) {
+            ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'order'");
+            sendResponse(exchange, 400, GSON.toJson(error));
+            return;
+        }
+        boolean descending = "desc".equals(orderParam);
+
+        int limit = 0;
+        String limitParam = getQueryParam(query, "limit");
+        if (limitParam != null) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit <= 0) {
+                ErrorResponse error = new ErrorResponse("Некорректный параметр запроса - 'limit'");
+                sendResponse(exchange, 400, GSON.toJson(error));
+                return;
+            }
+        }
+
+        List<Movie> movies = year == null
+                ? store.getMoviesSorted(sort, descending, limit)
+                : store.getMoviesByYearSorted(year, sort, descending, limit);
+
         // Возвращаем фильмы
         String moviesJson = GSON.toJson(movies);
         sendResponse(exchange, 200, moviesJson);
@@ -78,39 +118,28 @@ public class MoviesHandler extends BaseHttpHandler {
             return;
         }
 
-        // Читаем тело запроса
-        StringBuilder requestBody = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                requestBody.append(line);
-            }
-        }
-
-        try {
-            // Парсим JSON
-            Movie movie = GSON.fromJson(requestBody.toString(), Movie.class);
-
-            // Валидация
-            List<String> validationErrors = MovieValidator.validate(movie);
-            if (!validationErrors.isEmpty()) {
-                ErrorResponse errorResponse = new ErrorResponse("Ошибка валидации", validationErrors);
-                sendResponse(exchange, 422, GSON.toJson(errorResponse));
-                return;
-            }
-
-            // Сохраняем фильм
-            Movie createdMovie = store.addMovie(movie);
-
-            // Возвращаем созданный фильм
-            String response = GSON.toJson(createdMovie);
-            sendResponse(exchange, 201, response);
-
+        // Читаем тело в байтовый буфер и разбираем его без промежуточной строки,
+        // проверяя поля по мере чтения
+        InputStream body = readBody(exchange);
+        Movie movie;
+        try (JsonReader reader = GSON.newJsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            movie = MovieJsonReader.read(reader);
+        } catch (ValidationException e) {
+            ErrorResponse errorResponse = new ErrorResponse("Ошибка валидации", e.getErrors());
+            sendResponse(exchange, 422, GSON.toJson(errorResponse));
+            return;
         } catch (Exception e) {
             // Некорректный JSON
             ErrorResponse error = new ErrorResponse("Некорректный JSON");
             sendResponse(exchange, 400, GSON.toJson(error));
+            return;
         }
+
+        // Сохраняем фильм
+        Movie createdMovie = store.addMovie(movie);
+
+        // Возвращаем созданный фильм
+        String response = GSON.toJson(createdMovie);
+        sendResponse(exchange, 201, response);
     }
 }
\ No newline at end of file
@@ -1,40 +1,114 @@
 package ru.practicum.moviehub.http;
 
+import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpServer;
 import ru.practicum.moviehub.store.MoviesStore;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MoviesServer {
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(10);
+    public static final int DEFAULT_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
     private final HttpServer server;
     private final MoviesStore store;
-    private final int port;
+    private final int maxBodySize;
+    private final int threads;
+    private final ExecutorService executor;
+    private final RequestTrackingFilter requestTracker = new RequestTrackingFilter();
+    private volatile boolean ready;
 
     public MoviesServer(MoviesStore store, int port) {
+        this(store, port, BaseHttpHandler.DEFAULT_MAX_BODY_SIZE);
+    }
+
+    public MoviesServer(MoviesStore store, int port, int maxBodySize) {
+        this(store, port, maxBodySize, DEFAULT_THREADS);
+    }
+
+    // threads - число потоков обработки запросов; без своего пула HttpServer
+    // обрабатывает все запросы по очереди в единственном потоке
+    public MoviesServer(MoviesStore store, int port, int maxBodySize, int threads) {
+        // Проверяем до создания сервера, чтобы не занять порт при ошибке в параметрах
+        if (maxBodySize <= 0) {
+            throw new IllegalArgumentException("Лимит тела запроса должен быть положительным");
+        }
         this.store = store;
-        this.port = port;
+        this.maxBodySize = maxBodySize;
+        this.threads = threads;
         try {
             this.server = HttpServer.create(new InetSocketAddress(port), 0);
             configureRoutes();
         } catch (IOException e) {
             throw new RuntimeException("Не удалось создать HTTP-сервер", e);
         }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "movies-http-" + threadNumber.incrementAndGet()));
+        server.setExecutor(executor);
     }
 
     private void configureRoutes() {
         // Регистрируем обработчики
-        server.createContext("/movies", new MoviesHandler(store));
-        server.createContext("/movies/", new MovieByIdHandler(store));
+        track(server.createContext("/movies", new MoviesHandler(store, maxBodySize)));
+        track(server.createContext("/movies/", new MovieByIdHandler(store)));
+        // Выгрузкам достаётся не больше половины потоков, остальные остаются для прочих запросов
+        track(server.createContext("/movies/export", new MoviesExportHandler(store, Math.max(1, threads / 2))));
+        track(server.createContext("/movies/stats", new MoviesStatsHandler(store)));
+        // Проверки состояния не учитываются при остановке и отвечают до последнего
+        server.createContext("/health/", new HealthHandler(this::isReady));
+    }
+
+    private void track(HttpContext context) {
+        context.getFilters().add(requestTracker);
     }
 
     public void start() {
+        start(false);
+    }
+
+    // При warmUp сервер сразу отвечает на /health/live, но готовым считается только после прогрева
+    public void start(boolean warmUp) {
         server.start();
-        System.out.println("Сервер запущен на порту " + port);
+        System.out.println("Сервер запущен на порту " + getPort());
+        if (warmUp) {
+            long startTime = System.nanoTime();
+            Warmup.run(Warmup.DEFAULT_ITERATIONS);
+            System.out.println("Прогрев завершён за " + (System.nanoTime() - startTime) / 1_000_000 + " мс");
+        }
+        ready = true;
+    }
+
+    // Фактический порт; отличается от переданного, если сервер создан с портом 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean isReady() {
+        return ready;
     }
 
     public void stop() {
+        stop(DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    // Перестаёт принимать новые запросы и ждёт завершения текущих не дольше drainTimeout
+    public void stop(Duration drainTimeout) {
+        ready = false;
+        try {
+            if (!requestTracker.drain(drainTimeout)) {
+                System.out.println("Не все запросы завершились за " + drainTimeout.toMillis() + " мс");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         server.stop(0);
+        executor.shutdown();
         System.out.println("Сервер остановлен");
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import ru.practicum.moviehub.api.ErrorResponse;
+import ru.practicum.moviehub.model.MoviesStats;
+import ru.practicum.moviehub.store.MoviesStore;
+
+import java.io.IOException;
+
+public class MoviesStatsHandler extends BaseHttpHandler {
+    private final MoviesStore store;
+
+    public MoviesStatsHandler(MoviesStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected void handleGet(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+
+        // Проверяем формат пути: /movies/stats
+        if (!path.equals("/movies/stats")) {
+            ErrorResponse error = new ErrorResponse("Не найдено");
+            sendResponse(exchange, 404, GSON.toJson(error));
+            return;
+        }
+
+        MoviesStats stats = store.getStats();
+        sendResponse(exchange, 200, GSON.toJson(stats));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package ru.practicum.moviehub.http;
+
+import java.io.IOException;
+
+class RequestBodyTooLargeException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    RequestBodyTooLargeException() {
+        super("Тело запроса превышает допустимый размер");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import ru.practicum.moviehub.api.ErrorResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// Считает обрабатываемые запросы, чтобы при остановке дождаться их завершения.
+// После начала остановки новые запросы получают 503.
+class RequestTrackingFilter extends Filter {
+    private final Object lock = new Object();
+    private int inFlight;
+    private boolean draining;
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        boolean accepted;
+        synchronized (lock) {
+            accepted = !draining;
+            if (accepted) {
+                inFlight++;
+            }
+        }
+        if (!accepted) {
+            reject(exchange);
+            return;
+        }
+        try {
+            chain.doFilter(exchange);
+        } finally {
+            synchronized (lock) {
+                inFlight--;
+                if (inFlight == 0) {
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Учёт обрабатываемых запросов";
+    }
+
+    // Перестаёт принимать запросы и ждёт завершения текущих не дольше timeout.
+    // Возвращает true, если все запросы успели завершиться.
+    boolean drain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            draining = true;
+            while (inFlight > 0) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        byte[] response = BaseHttpHandler.GSON.toJson(new ErrorResponse("Сервер останавливается"))
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.getResponseHeaders().set("Connection", "close");
+        exchange.sendResponseHeaders(503, response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.moviehub.http;
+
+import java.io.IOException;
+
+// Ошибка после отправки заголовков ответа: ответ нельзя заменить ошибкой, только оборвать
+class ResponseAbortedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    ResponseAbortedException(Throwable cause) {
+        super("Ответ прерван после отправки заголовков", cause);
+    }
+}
\ No newline at end of file
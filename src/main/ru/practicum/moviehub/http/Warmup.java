@@ -0,0 +1,46 @@
+package ru.practicum.moviehub.http;
+
+import com.google.gson.stream.JsonReader;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.store.InMemoryMoviesStore;
+import ru.practicum.moviehub.store.MovieSort;
+import ru.practicum.moviehub.store.MoviesStore;
+import ru.practicum.moviehub.validation.MovieJsonReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+// Прогоняет разбор, валидацию, сериализацию и операции хранилища на временных данных,
+// чтобы JIT скомпилировал их до того, как сервер начнёт принимать трафик.
+class Warmup {
+    static final int DEFAULT_ITERATIONS = 10_000;
+
+    static void run(int iterations) {
+        MoviesStore store = new InMemoryMoviesStore();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                String json = "{\"title\":\"Фильм " + i + "\",\"year\":" + (1900 + i % 100) + "}";
+                Movie movie;
+                try (JsonReader reader = BaseHttpHandler.GSON.newJsonReader(new StringReader(json))) {
+                    movie = MovieJsonReader.read(reader);
+                }
+                Movie created = store.addMovie(movie);
+                BaseHttpHandler.GSON.toJson(store.getMovieById(created.getId()));
+
+                if (i % 100 == 99) {
+                    // Те же выборки, что делает GET /movies: все индексы, включая ключи названий
+                    boolean descending = i % 200 == 199;
+                    for (MovieSort sort : MovieSort.values()) {
+                        BaseHttpHandler.GSON.toJson(store.getMoviesSorted(sort, descending, 100));
+                        BaseHttpHandler.GSON.toJson(store.getMoviesByYearSorted(created.getYear(), sort, descending, 0));
+                    }
+                    BaseHttpHandler.GSON.toJson(store.getStats());
+                    BaseHttpHandler.GSON.toJson(store.getMoviesSinceId(created.getId() - 100));
+                    store.deleteMovie(created.getId());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось выполнить прогрев", e);
+        }
+    }
+}
\ No newline at end of file
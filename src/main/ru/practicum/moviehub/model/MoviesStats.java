@@ -0,0 +1,42 @@
+package ru.practicum.moviehub.model;
+
+import java.util.Map;
+
+public class MoviesStats {
+    private long total;
+    private Map<Integer, Integer> byYear;
+    private Map<Integer, Integer> byDecade;
+
+    public MoviesStats() {
+    }
+
+    public MoviesStats(long total, Map<Integer, Integer> byYear, Map<Integer, Integer> byDecade) {
+        this.total = total;
+        this.byYear = byYear;
+        this.byDecade = byDecade;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<Integer, Integer> getByYear() {
+        return byYear;
+    }
+
+    public void setByYear(Map<Integer, Integer> byYear) {
+        this.byYear = byYear;
+    }
+
+    public Map<Integer, Integer> getByDecade() {
+        return byDecade;
+    }
+
+    public void setByDecade(Map<Integer, Integer> byDecade) {
+        this.byDecade = byDecade;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package ru.practicum.moviehub.store;
+
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+// Кэш фильмов по ID поверх любого хранилища.
+// Вытеснение - сегментированный LRU: новый фильм попадает в пробный сегмент
+// и переходит в защищённый только при повторном обращении, поэтому разовые
+// чтения не вытесняют популярные фильмы.
+public class CachingMoviesStore implements MoviesStore {
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final MoviesStore backend;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final int maxProtectedEntries;
+    private final long maxProtectedWeight;
+    private final ToLongFunction<Movie> weigher;
+
+    // Порядок вставки = порядок от давно использованных к недавно использованным
+    private final LinkedHashMap<Long, Movie> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, Movie> protectedSegment = new LinkedHashMap<>();
+    private long probationWeight;
+    private long protectedWeight;
+
+    // Увеличивается при каждой инвалидации: загрузка, начатая до неё, не попадёт в кэш
+    private long generation;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long loadCount;
+    private long totalLoadTimeNanos;
+
+    public CachingMoviesStore(MoviesStore backend, int maxEntries, long maxWeight) {
+        this(backend, maxEntries, maxWeight, CachingMoviesStore::estimateWeight);
+    }
+
+    public CachingMoviesStore(MoviesStore backend, int maxEntries, long maxWeight, ToLongFunction<Movie> weigher) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        }
+        this.backend = backend;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.maxProtectedEntries = (int) (maxEntries * PROTECTED_SHARE);
+        this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+        this.weigher = weigher;
+    }
+
+    @Override
+    public Movie getMovieById(long id) {
+        long loadGeneration;
+        synchronized (this) {
+            Movie movie = protectedSegment.remove(id);
+            if (movie != null) {
+                protectedSegment.put(id, movie);
+                hitCount++;
+                return movie;
+            }
+            movie = probation.remove(id);
+            if (movie != null) {
+                probationWeight -= weigher.applyAsLong(movie);
+                promote(id, movie);
+                hitCount++;
+                return movie;
+            }
+            missCount++;
+            loadGeneration = generation;
+        }
+
+        // Читаем из хранилища без блокировки кэша
+        long start = System.nanoTime();
+        Movie movie = backend.getMovieById(id);
+        long loadTime = System.nanoTime() - start;
+
+        synchronized (this) {
+            loadCount++;
+            totalLoadTimeNanos += loadTime;
+            if (movie != null && loadGeneration == generation && !contains(id)) {
+                probation.put(id, movie);
+                probationWeight += weigher.applyAsLong(movie);
+                evictIfNeeded();
+            }
+        }
+        return movie;
+    }
+
+    @Override
+    public Movie addMovie(Movie movie) {
+        Movie created = backend.addMovie(movie);
+        invalidate(created.getId());
+        return created;
+    }
+
+    @Override
+    public boolean deleteMovie(long id) {
+        boolean deleted = backend.deleteMovie(id);
+        invalidate(id);
+        return deleted;
+    }
+
+    @Override
+    public List<Movie> getAllMovies() {
+        return backend.getAllMovies();
+    }
+
+    @Override
+    public List<Movie> getMoviesByYear(int year) {
+        return backend.getMoviesByYear(year);
+    }
+
+    @Override
+    public List<Movie> getMoviesSorted(MovieSort sort, boolean descending, int limit) {
+        return backend.getMoviesSorted(sort, descending, limit);
+    }
+
+    @Override
+    public List<Movie> getMoviesByYearSorted(int year, MovieSort sort, boolean descending, int limit) {
+        return backend.getMoviesByYearSorted(year, sort, descending, limit);
+    }
+
+    @Override
+    public List<Movie> getMoviesSinceId(long sinceId) {
+        return backend.getMoviesSinceId(sinceId);
+    }
+
+    @Override
+    public MoviesStats getStats() {
+        return backend.getStats();
+    }
+
+    // Сбрасывает фильм из кэша; вызывается при любом изменении фильма в хранилище
+    public synchronized void invalidate(long id) {
+        generation++;
+        Movie movie = probation.remove(id);
+        if (movie != null) {
+            probationWeight -= weigher.applyAsLong(movie);
+        }
+        movie = protectedSegment.remove(id);
+        if (movie != null) {
+            protectedWeight -= weigher.applyAsLong(movie);
+        }
+    }
+
+    public synchronized CacheStats getCacheStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, loadCount, totalLoadTimeNanos);
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    private boolean contains(long id) {
+        return probation.containsKey(id) || protectedSegment.containsKey(id);
+    }
+
+    // Переносит фильм в защищённый сегмент, вытесняя его самые старые записи обратно в пробный
+    private void promote(long id, Movie movie) {
+        protectedSegment.put(id, movie);
+        protectedWeight += weigher.applyAsLong(movie);
+
+        Iterator<Map.Entry<Long, Movie>> it = protectedSegment.entrySet().iterator();
+        while ((protectedSegment.size() > maxProtectedEntries || protectedWeight > maxProtectedWeight)
+                && it.hasNext()) {
+            Map.Entry<Long, Movie> eldest = it.next();
+            it.remove();
+            long weight = weigher.applyAsLong(eldest.getValue());
+            protectedWeight -= weight;
+            probation.put(eldest.getKey(), eldest.getValue());
+            probationWeight += weight;
+        }
+        evictIfNeeded();
+    }
+
+    // Вытесняет сначала из пробного сегмента, затем из защищённого
+    private void evictIfNeeded() {
+        evict(probation, true);
+        evict(protectedSegment, false);
+    }
+
+    private void evict(LinkedHashMap<Long, Movie> segment, boolean isProbation) {
+        Iterator<Movie> it = segment.values().iterator();
+        while (isOverCapacity() && it.hasNext()) {
+            long weight = weigher.applyAsLong(it.next());
+            it.remove();
+            if (isProbation) {
+                probationWeight -= weight;
+            } else {
+                protectedWeight -= weight;
+            }
+            evictionCount++;
+        }
+    }
+
+    private boolean isOverCapacity() {
+        return probation.size() + protectedSegment.size() > maxEntries
+                || probationWeight + protectedWeight > maxWeight;
+    }
+
+    // Приблизительный размер фильма в памяти, байт
+    private static long estimateWeight(Movie movie) {
+        String title = movie.getTitle();
+        return 64 + (title == null ? 0 : 2L * title.length());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package ru.practicum.moviehub.store;
+
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class InMemoryMoviesStore implements MoviesStore {
+    // Идентификаторы выдаются по возрастанию, поэтому порядок ключей совпадает с порядком добавления
+    private final NavigableMap<Long, Movie> movies = new TreeMap<>();
+    // Упорядоченные индексы поддерживаются при добавлении и удалении, чтобы не сортировать на каждый запрос
+    private final NavigableMap<TitleKey, Movie> titleIndex = new TreeMap<>();
+    private final Map<Long, TitleKey> titleKeys = new HashMap<>();
+    private final NavigableSet<Movie> yearIndex = new TreeSet<>(
+            Comparator.comparingInt(Movie::getYear).thenComparingLong(Movie::getId));
+    // Сравнение названий по правилам русского алфавита (например, "ё" идёт сразу после "е")
+    private final Collator titleCollator = Collator.getInstance(new Locale("ru", "RU"));
+    // Счётчики по годам обновляются вместе с каталогом, чтобы статистика не требовала его обхода
+    private final YearCounters yearCounters = new YearCounters();
+    private long nextId = 1;
+
+    @Override
+    public synchronized List<Movie> getAllMovies() {
+        return new ArrayList<>(movies.values());
+    }
+
+    @Override
+    public synchronized Movie addMovie(Movie movie) {
+        // Всё, что может не удаться, делаем до изменения каталога, чтобы исключение
+        // не оставило индексы и счётчики рассогласованными
+        long id = nextId;
+        String title = movie.getTitle() == null ? "" : movie.getTitle();
+        TitleKey titleKey = new TitleKey(titleCollator.getCollationKey(title), id);
+        yearCounters.increment(movie.getYear());
+
+        nextId++;
+        movie.setId(id);
+        movies.put(id, movie);
+        titleIndex.put(titleKey, movie);
+        titleKeys.put(id, titleKey);
+        yearIndex.add(movie);
+        return movie;
+    }
+
+    @Override
+    public synchronized Movie getMovieById(long id) {
+        return movies.get(id);
+    }
+
+    @Override
+    public synchronized boolean deleteMovie(long id) {
+        Movie removed = movies.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        titleIndex.remove(titleKeys.remove(id));
+        yearIndex.remove(removed);
+        yearCounters.decrement(removed.getYear());
+        return true;
+    }
+
+    @Override
+    public synchronized List<Movie> getMoviesByYear(int year) {
+        return new ArrayList<>(moviesOfYear(year));
+    }
+
+    @Override
+    public synchronized List<Movie> getMoviesSorted(MovieSort sort, boolean descending, int limit) {
+        Collection<Movie> ordered;
+        switch (sort) {
+            case TITLE:
+                ordered = descending ? titleIndex.descendingMap().values() : titleIndex.values();
+                break;
+            case YEAR:
+                ordered = descending ? yearIndex.descendingSet() : yearIndex;
+                break;
+            default:
+                ordered = descending ? movies.descendingMap().values() : movies.values();
+        }
+        return firstMovies(ordered, limit);
+    }
+
+    @Override
+    public synchronized List<Movie> getMoviesByYearSorted(int year, MovieSort sort, boolean descending, int limit) {
+        NavigableSet<Movie> ofYear = moviesOfYear(year);
+        if (sort != MovieSort.TITLE) {
+            // Внутри одного года индекс по году уже упорядочен по ID
+            return firstMovies(descending ? ofYear.descendingSet() : ofYear, limit);
+        }
+
+        // Сортируем только фильмы этого года по заранее посчитанным ключам названий
+        List<Movie> byTitle = new ArrayList<>(ofYear);
+        Comparator<Movie> comparator = Comparator.comparing(movie -> titleKeys.get(movie.getId()));
+        byTitle.sort(descending ? comparator.reversed() : comparator);
+        return limit > 0 && limit < byTitle.size() ? new ArrayList<>(byTitle.subList(0, limit)) : byTitle;
+    }
+
+    @Override
+    public synchronized List<Movie> getMoviesSinceId(long sinceId) {
+        return new ArrayList<>(movies.tailMap(sinceId, false).values());
+    }
+
+    @Override
+    public synchronized MoviesStats getStats() {
+        return yearCounters.snapshot();
+    }
+
+    private NavigableSet<Movie> moviesOfYear(int year) {
+        return yearIndex.subSet(new Movie(Long.MIN_VALUE, null, year), true,
+                new Movie(Long.MAX_VALUE, null, year), true);
+    }
+
+    private static List<Movie> firstMovies(Collection<Movie> ordered, int limit) {
+        if (limit <= 0 || limit >= ordered.size()) {
+            return new ArrayList<>(ordered);
+        }
+        List<Movie> result = new ArrayList<>(limit);
+        Iterator<Movie> it = ordered.iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    private static final class TitleKey implements Comparable<TitleKey> {
+        private final CollationKey collationKey;
+        private final long id;
+
+        private TitleKey(CollationKey collationKey, long id) {
+            this.collationKey = collationKey;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int result = collationKey.compareTo(other.collationKey);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+    }
+}
\ No newline at end of file
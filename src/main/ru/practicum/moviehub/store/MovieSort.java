@@ -0,0 +1,10 @@
+package ru.practicum.moviehub.store;
+
+// Порядок выдачи фильмов. При равенстве ключа фильмы упорядочиваются по ID в том же направлении,
+// что и сортировка: убывающий порядок - ровно обратный возрастающему (при order=desc
+// фильмы одного года идут от большего ID к меньшему)
+public enum MovieSort {
+    ID,
+    TITLE,
+    YEAR
+}
\ No newline at end of file
@@ -1,39 +1,29 @@
 package ru.practicum.moviehub.store;
 
 import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-
-public class MoviesStore {
-    private final List<Movie> movies = new ArrayList<>();
-    private long nextId = 1;
-
-    public List<Movie> getAllMovies() {
-        return new ArrayList<>(movies);
-    }
-
-    public Movie addMovie(Movie movie) {
-        movie.setId(nextId++);
-        movies.add(movie);
-        return movie;
-    }
-
-    public Movie getMovieById(long id) {
-        return movies.stream()
-                .filter(movie -> movie.getId() == id)
-                .findFirst()
-                .orElse(null);
-    }
-
-    public boolean deleteMovie(long id) {
-        return movies.removeIf(movie -> movie.getId() == id);
-    }
-
-    public List<Movie> getMoviesByYear(int year) {
-        return movies.stream()
-                .filter(movie -> movie.getYear() == year)
-                .collect(Collectors.toList());
-    }
+
+public interface MoviesStore {
+    List<Movie> getAllMovies();
+
+    Movie addMovie(Movie movie);
+
+    Movie getMovieById(long id);
+
+    boolean deleteMovie(long id);
+
+    List<Movie> getMoviesByYear(int year);
+
+    // Первые limit фильмов в порядке sort (равные ключи - см. MovieSort); limit <= 0 - без ограничения
+    List<Movie> getMoviesSorted(MovieSort sort, boolean descending, int limit);
+
+    List<Movie> getMoviesByYearSorted(int year, MovieSort sort, boolean descending, int limit);
+
+    // Снимок фильмов с ID больше sinceId на один момент времени
+    List<Movie> getMoviesSinceId(long sinceId);
+
+    // Общее число фильмов и распределение по годам и десятилетиям
+    MoviesStats getStats();
 }
\ No newline at end of file
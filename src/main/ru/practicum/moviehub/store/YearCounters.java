@@ -0,0 +1,78 @@
+package ru.practicum.moviehub.store;
+
+import ru.practicum.moviehub.model.MoviesStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Счётчики фильмов по годам: массив, индексированный годом, для обычного диапазона лет
+// и разреженная карта для всех остальных. Массив не растёт, поэтому год вроде Integer.MIN_VALUE
+// не приводит к огромной аллокации, а обновление счётчиков не может бросить исключение.
+// Не потокобезопасен: синхронизацию обеспечивает хранилище.
+class YearCounters {
+    private static final int FIRST_DENSE_YEAR = 1888;
+    // 1888-2199: все годы, которые пропускает валидация, с большим запасом
+    private static final int DENSE_YEARS = 312;
+
+    private final int[] counts = new int[DENSE_YEARS];
+    private final NavigableMap<Integer, Integer> outliers = new TreeMap<>();
+    private long total;
+
+    void increment(int year) {
+        int index = denseIndex(year);
+        if (index >= 0) {
+            counts[index]++;
+        } else {
+            outliers.merge(year, 1, Integer::sum);
+        }
+        total++;
+    }
+
+    void decrement(int year) {
+        int index = denseIndex(year);
+        if (index >= 0) {
+            counts[index]--;
+        } else {
+            // Обнулившийся год удаляем, чтобы карта не копила ключи удалённых фильмов
+            outliers.computeIfPresent(year, (key, count) -> count == 1 ? null : count - 1);
+        }
+        total--;
+    }
+
+    // Стоимость - O(размер массива + число необычных лет), независимо от размера каталога
+    MoviesStats snapshot() {
+        Map<Integer, Integer> byYear = new LinkedHashMap<>();
+        Map<Integer, Integer> byDecade = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Integer> entry : outliers.headMap(FIRST_DENSE_YEAR, false).entrySet()) {
+            add(byYear, byDecade, entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                add(byYear, byDecade, FIRST_DENSE_YEAR + i, counts[i]);
+            }
+        }
+        for (Map.Entry<Integer, Integer> entry : outliers.tailMap(FIRST_DENSE_YEAR, false).entrySet()) {
+            add(byYear, byDecade, entry.getKey(), entry.getValue());
+        }
+        return new MoviesStats(total, byYear, byDecade);
+    }
+
+    private static void add(Map<Integer, Integer> byYear, Map<Integer, Integer> byDecade, int year, int count) {
+        byYear.put(year, count);
+        byDecade.merge(decadeOf(year), count, Integer::sum);
+    }
+
+    // Начало десятилетия; для лет у Integer.MIN_VALUE оно не помещается в int,
+    // и десятилетие обозначается первым представимым годом
+    private static int decadeOf(int year) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.floorDiv((long) year, 10) * 10);
+    }
+
+    // Индекс в массиве или -1, если год вне обычного диапазона
+    private static int denseIndex(int year) {
+        long index = (long) year - FIRST_DENSE_YEAR;
+        return index >= 0 && index < DENSE_YEARS ? (int) index : -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package ru.practicum.moviehub.validation;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import ru.practicum.moviehub.model.Movie;
+
+import java.io.IOException;
+import java.util.List;
+
+// Читает фильм из потока JSON и проверяет поля сразу по мере чтения:
+// на первом же нарушении чтение прекращается, остаток тела не разбирается.
+public class MovieJsonReader {
+
+    public static Movie read(JsonReader reader) throws IOException {
+        // Та же нестрогость, что и у Gson.fromJson
+        reader.setLenient(true);
+
+        Movie movie = new Movie();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    movie.setId(reader.nextLong());
+                    break;
+                case "title":
+                    String title = reader.nextString();
+                    failIfInvalid(MovieValidator.checkTitle(title));
+                    movie.setTitle(title);
+                    break;
+                case "year":
+                    int year = reader.nextInt();
+                    failIfInvalid(MovieValidator.checkYear(year));
+                    movie.setYear(year);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new MalformedJsonException("Лишние данные после JSON-объекта");
+        }
+
+        // Прочитанные поля уже проверены; полная проверка собранного фильма
+        // ловит поля, которых не было в теле
+        List<String> errors = MovieValidator.validate(movie);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        return movie;
+    }
+
+    private static void failIfInvalid(String error) {
+        if (error != null) {
+            throw new ValidationException(List.of(error));
+        }
+    }
+}
\ No newline at end of file
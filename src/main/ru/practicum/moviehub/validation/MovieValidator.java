@@ -4,26 +4,87 @@ import ru.practicum.moviehub.model.Movie;
 
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class MovieValidator {
+    public static final int MAX_TITLE_LENGTH = 100;
+    public static final int MIN_YEAR = 1888;
+
+    private static final long YEAR_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // Верхняя граница года пересчитывается не чаще раза в минуту, а не на каждый запрос
+    private static volatile YearBound yearBound = new YearBound(0, 0);
 
     public static List<String> validate(Movie movie) {
-        List<String> errors = new ArrayList<>();
+        String titleError = checkTitle(movie.getTitle());
+        String yearError = checkYear(movie.getYear());
+        if (titleError == null && yearError == null) {
+            return Collections.emptyList();
+        }
 
-        if (movie.getTitle() == null || movie.getTitle().trim().isEmpty()) {
-            errors.add("название не должно быть пустым");
-        } else if (movie.getTitle().length() > 100) {
-            errors.add("название не должно превышать 100 символов");
+        List<String> errors = new ArrayList<>(2);
+        if (titleError != null) {
+            errors.add(titleError);
         }
+        if (yearError != null) {
+            errors.add(yearError);
+        }
+        return errors;
+    }
 
-        int currentYear = Year.now().getValue();
-        if (movie.getYear() < 1888) {
-            errors.add("год должен быть не менее 1888");
-        } else if (movie.getYear() > currentYear + 1) {
-            errors.add("год должен быть не более " + (currentYear + 1));
+    // Возвращает текст ошибки или null, если название корректно
+    public static String checkTitle(String title) {
+        if (title == null || isEmptyAfterTrim(title)) {
+            return "название не должно быть пустым";
         }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            return "название не должно превышать " + MAX_TITLE_LENGTH + " символов";
+        }
+        return null;
+    }
 
-        return errors;
+    // То же правило, что trim().isEmpty() (пустыми считаются символы <= ' ', включая управляющие),
+    // но без создания новой строки
+    private static boolean isEmptyAfterTrim(String title) {
+        for (int i = 0; i < title.length(); i++) {
+            if (title.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Возвращает текст ошибки или null, если год корректен
+    public static String checkYear(int year) {
+        if (year < MIN_YEAR) {
+            return "год должен быть не менее " + MIN_YEAR;
+        }
+        int maxYear = maxYear();
+        if (year > maxYear) {
+            return "год должен быть не более " + maxYear;
+        }
+        return null;
+    }
+
+    static int maxYear() {
+        YearBound bound = yearBound;
+        long now = System.currentTimeMillis();
+        if (now >= bound.expiresAt) {
+            bound = new YearBound(Year.now().getValue() + 1, now + YEAR_REFRESH_INTERVAL_MILLIS);
+            yearBound = bound;
+        }
+        return bound.maxYear;
+    }
+
+    private static final class YearBound {
+        private final int maxYear;
+        private final long expiresAt;
+
+        private YearBound(int maxYear, long expiresAt) {
+            this.maxYear = maxYear;
+            this.expiresAt = expiresAt;
+        }
     }
 }
\ No newline at end of file
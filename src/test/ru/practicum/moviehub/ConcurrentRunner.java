@@ -0,0 +1,44 @@
+package ru.practicum.moviehub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Общий запуск задачи в нескольких потоках для тестов на конкурентность
+public final class ConcurrentRunner {
+
+    public interface Task<T> {
+        T run(int thread) throws Exception;
+    }
+
+    private ConcurrentRunner() {
+    }
+
+    // Запускает задачу в threads потоках одновременно и возвращает результаты в порядке потоков.
+    // Каждый поток должен завершиться за timeoutSeconds, иначе тест падает по таймауту.
+    public static <T> List<T> runConcurrently(int threads, int timeoutSeconds, Task<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier start = new CyclicBarrier(threads);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(thread);
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(timeoutSeconds, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -7,19 +7,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.practicum.moviehub.api.ErrorResponse;
 import ru.practicum.moviehub.model.Movie;
-import ru.practicum.moviehub.store.MoviesStore;
+import ru.practicum.moviehub.model.MoviesStats;
+import ru.practicum.moviehub.store.InMemoryMoviesStore;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Year;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MoviesApiTest {
@@ -36,6 +42,7 @@ public class MoviesApiTest {
     private static final int STATUS_BAD_REQUEST = 400;
     private static final int STATUS_NOT_FOUND = 404;
     private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_PAYLOAD_TOO_LARGE = 413;
     private static final int STATUS_UNPROCESSABLE_ENTITY = 422;
     private static final int STATUS_UNSUPPORTED_MEDIA_TYPE = 415;
 
@@ -57,7 +64,7 @@ public class MoviesApiTest {
 
     @BeforeEach
     void setUp() {
-        server = new MoviesServer(new MoviesStore(), SERVER_PORT);
+        server = new MoviesServer(new InMemoryMoviesStore(), SERVER_PORT);
         server.start();
         client = createHttpClient();
     }
@@ -81,6 +88,12 @@ public class MoviesApiTest {
         return HttpRequest.newBuilder().uri(URI.create(url)).header(CONTENT_TYPE_HEADER, CONTENT_TYPE_JSON).POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8)).build();
     }
 
+    // Тело из потока неизвестной длины отправляется chunked, без заголовка Content-Length
+    private HttpRequest createChunkedPostRequest(String url, String jsonBody) {
+        byte[] body = jsonBody.getBytes(StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder().uri(URI.create(url)).header(CONTENT_TYPE_HEADER, CONTENT_TYPE_JSON).POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body))).build();
+    }
+
     private HttpRequest createDeleteRequest(String url) {
         return HttpRequest.newBuilder().uri(URI.create(url)).DELETE().build();
     }
@@ -104,6 +117,13 @@ public class MoviesApiTest {
         return sendRequest(request);
     }
 
+    private List<Long> getMovieIds(String query) throws Exception {
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + query));
+        assertStatusCode(response, STATUS_OK, "Должен вернуть 200");
+        List<Movie> movies = GSON.fromJson(response.body(), new ListOfMoviesTypeToken().getType());
+        return movies.stream().map(Movie::getId).collect(Collectors.toList());
+    }
+
     private HttpResponse<String> createMovie(String title, int year) throws Exception {
         String movieJson = String.format("{\"title\":\"%s\",\"year\":%d}", title, year);
         HttpRequest request = createPostRequest(MOVIES_ENDPOINT, movieJson);
@@ -237,6 +257,85 @@ public class MoviesApiTest {
         assertTrue(body.contains("год должен быть не менее 1888"), "Должна быть детальная ошибка");
     }
 
+    @Test
+    void postMovies_withFutureYear_returnsValidationError() throws Exception {
+        int maxYear = Year.now().getValue() + 1;
+        String movieJson = "{\"title\":\"Фильм\",\"year\":" + (maxYear + 1) + "}";
+
+        HttpResponse<String> response = createMovie(movieJson);
+
+        assertStatusCode(response, STATUS_UNPROCESSABLE_ENTITY, "Должен вернуть 422 при годе из будущего");
+        assertTrue(response.body().contains("год должен быть не более " + maxYear), "Должна быть детальная ошибка");
+    }
+
+    @Test
+    void postMovies_withTooLongTitle_stopsParsingAtFirstViolation() throws Exception {
+        String movieJson = "{\"title\":\"" + "A".repeat(101) + "\",\"year\": это уже не читается";
+
+        HttpResponse<String> response = createMovie(movieJson);
+
+        assertStatusCode(response, STATUS_UNPROCESSABLE_ENTITY, "Должен вернуть 422 по первому же нарушению");
+        assertTrue(response.body().contains("название не должно превышать 100 символов"), "Должна быть детальная ошибка");
+    }
+
+    @Test
+    void postMovies_withTooLargeBody_returns413() throws Exception {
+        String hugeTitle = "A".repeat(BaseHttpHandler.DEFAULT_MAX_BODY_SIZE);
+        String movieJson = String.format("{\"title\":\"%s\",\"year\":2020}", hugeTitle);
+
+        HttpResponse<String> response = createMovie(movieJson);
+
+        assertStatusCode(response, STATUS_PAYLOAD_TOO_LARGE, "Должен вернуть 413 при слишком большом теле");
+        assertErrorResponse(response);
+    }
+
+    @Test
+    void postMovies_withChunkedBodyOverLimit_returns413() throws Exception {
+        // Лимит меньше начального буфера тела: проверка не должна зависеть от его размера
+        int maxBodySize = 1024;
+        MoviesServer smallLimitServer = new MoviesServer(new InMemoryMoviesStore(), 0, maxBodySize);
+        smallLimitServer.start();
+        try {
+            String endpoint = "http://localhost:" + smallLimitServer.getPort() + "/movies";
+            String tooLarge = String.format("{\"title\":\"Фильм\",\"year\":2020,\"note\":\"%s\"}", "A".repeat(3 * maxBodySize));
+
+            HttpResponse<String> rejected = sendRequest(createChunkedPostRequest(endpoint, tooLarge));
+            HttpResponse<String> accepted = sendRequest(createChunkedPostRequest(endpoint, VALID_MOVIE_JSON));
+
+            assertStatusCode(rejected, STATUS_PAYLOAD_TOO_LARGE, "Должен вернуть 413 для тела без Content-Length больше лимита");
+            assertErrorResponse(rejected);
+            assertStatusCode(accepted, STATUS_CREATED, "Тело без Content-Length в пределах лимита должно приниматься");
+        } finally {
+            smallLimitServer.stop(Duration.ZERO);
+        }
+    }
+
+    @Test
+    void postMovies_withMaxIntBodyLimit_acceptsBodies() throws Exception {
+        // maxBodySize + 1 не помещается в int: лимит не должен переполняться
+        MoviesServer unlimitedServer = new MoviesServer(new InMemoryMoviesStore(), 0, Integer.MAX_VALUE);
+        unlimitedServer.start();
+        try {
+            String endpoint = "http://localhost:" + unlimitedServer.getPort() + "/movies";
+
+            HttpResponse<String> withLength = sendRequest(createPostRequest(endpoint, VALID_MOVIE_JSON));
+            HttpResponse<String> chunked = sendRequest(createChunkedPostRequest(endpoint, VALID_MOVIE_JSON));
+
+            assertStatusCode(withLength, STATUS_CREATED, "Тело с Content-Length должно приниматься");
+            assertStatusCode(chunked, STATUS_CREATED, "Тело без Content-Length должно приниматься");
+        } finally {
+            unlimitedServer.stop(Duration.ZERO);
+        }
+    }
+
+    @Test
+    void moviesServer_withNonPositiveBodyLimit_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MoviesServer(new InMemoryMoviesStore(), 0, 0),
+                "Нулевой лимит тела недопустим");
+        assertThrows(IllegalArgumentException.class, () -> new MoviesServer(new InMemoryMoviesStore(), 0, -1),
+                "Отрицательный лимит тела недопустим");
+    }
+
     @Test
     void postMovies_withWrongContentType_returns415() throws Exception {
         String movieJson = VALID_MOVIE_JSON;
@@ -369,6 +468,65 @@ public class MoviesApiTest {
         assertErrorResponse(response);
     }
 
+    @Test
+    void getMovies_sortedByTitle_usesRussianAlphabet() throws Exception {
+        createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+        createMovie(MOVIE_TITLE_2, MOVIE_YEAR_2);
+        createMovie(MOVIE_TITLE_3, MOVIE_YEAR_3);
+        createMovie("Ёлки", MOVIE_YEAR_3);
+
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "?sort=title"));
+
+        assertStatusCode(response, STATUS_OK, "Должен вернуть 200");
+        List<Movie> movies = GSON.fromJson(response.body(), new ListOfMoviesTypeToken().getType());
+        List<String> titles = movies.stream().map(Movie::getTitle).collect(Collectors.toList());
+        assertEquals(List.of(MOVIE_TITLE_2, "Ёлки", MOVIE_TITLE_1, MOVIE_TITLE_3), titles,
+                "Фильмы должны быть упорядочены по алфавиту");
+    }
+
+    @Test
+    void getMovies_sortedByYearDescWithLimit_returnsTopK() throws Exception {
+        createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+        createMovie(MOVIE_TITLE_2, MOVIE_YEAR_2);
+        createMovie(MOVIE_TITLE_3, MOVIE_YEAR_3);
+
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "?sort=year&order=desc&limit=2"));
+
+        assertStatusCode(response, STATUS_OK, "Должен вернуть 200");
+        List<Movie> movies = GSON.fromJson(response.body(), new ListOfMoviesTypeToken().getType());
+        assertEquals(2, movies.size(), "Должен вернуть 2 фильма");
+        assertEquals(MOVIE_TITLE_2, movies.get(0).getTitle(), "Первым должен быть самый новый фильм");
+        assertEquals(MOVIE_TITLE_1, movies.get(1).getTitle(), "Вторым должен быть " + MOVIE_TITLE_1);
+    }
+
+    @Test
+    void getMovies_sortedWithEqualKeys_breaksTiesByIdInSortDirection() throws Exception {
+        long first = GSON.fromJson(createMovie("Фильм", 2000).body(), Movie.class).getId();
+        long second = GSON.fromJson(createMovie("Фильм", 2000).body(), Movie.class).getId();
+        long other = GSON.fromJson(createMovie("Другой", 2010).body(), Movie.class).getId();
+
+        assertEquals(List.of(first, second, other), getMovieIds("?sort=year"),
+                "Одинаковые годы по возрастанию ID");
+        assertEquals(List.of(other, second, first), getMovieIds("?sort=year&order=desc"),
+                "При order=desc одинаковые годы по убыванию ID");
+        assertEquals(List.of(other, first, second), getMovieIds("?sort=title"),
+                "Одинаковые названия по возрастанию ID");
+        assertEquals(List.of(second, first, other), getMovieIds("?sort=title&order=desc"),
+                "При order=desc одинаковые названия по убыванию ID");
+        assertEquals(List.of(first, second), getMovieIds("?year=2000&sort=title"),
+                "Внутри года одинаковые названия по возрастанию ID");
+        assertEquals(List.of(second, first), getMovieIds("?year=2000&sort=title&order=desc"),
+                "Внутри года при order=desc одинаковые названия по убыванию ID");
+    }
+
+    @Test
+    void getMovies_withInvalidSort_returns400() throws Exception {
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "?sort=rating"));
+
+        assertStatusCode(response, STATUS_BAD_REQUEST, "Должен вернуть 400 при неизвестном поле сортировки");
+        assertErrorResponse(response);
+    }
+
     @Test
     void unsupportedMethod_returns405() throws Exception {
         HttpRequest request = HttpRequest.newBuilder().uri(URI.create(MOVIES_ENDPOINT)).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
@@ -378,4 +536,94 @@ public class MoviesApiTest {
         assertStatusCode(response, STATUS_METHOD_NOT_ALLOWED, "Должен вернуть 405 при неподдерживаемом методе");
         assertErrorResponse(response);
     }
+
+    @Test
+    void exportMovies_asNdjson_returnsOneMoviePerLine() throws Exception {
+        createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+        createMovie(MOVIE_TITLE_2, MOVIE_YEAR_2);
+
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "/export"));
+
+        assertStatusCode(response, STATUS_OK, "GET /movies/export должен вернуть 200");
+        String[] lines = response.body().split("\n");
+        assertEquals(2, lines.length, "Должно быть по строке на фильм");
+        assertEquals(MOVIE_TITLE_1, GSON.fromJson(lines[0], Movie.class).getTitle(), "Порядок должен сохраняться");
+        assertEquals(MOVIE_TITLE_2, GSON.fromJson(lines[1], Movie.class).getTitle(), "Порядок должен сохраняться");
+    }
+
+    @Test
+    void exportMovies_asCsvSinceId_returnsOnlyNewerMovies() throws Exception {
+        HttpResponse<String> createResponse = createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+        long firstId = GSON.fromJson(createResponse.body(), Movie.class).getId();
+        createMovie(MOVIE_TITLE_2, MOVIE_YEAR_2);
+
+        HttpResponse<String> response = sendRequest(
+                createGetRequest(MOVIES_ENDPOINT + "/export?format=csv&since-id=" + firstId));
+
+        assertStatusCode(response, STATUS_OK, "Должен вернуть 200");
+        String[] lines = response.body().split("\n");
+        assertEquals(2, lines.length, "Должны быть заголовок и один фильм");
+        assertEquals("id,title,year", lines[0], "Первая строка - заголовок CSV");
+        assertEquals((firstId + 1) + "," + MOVIE_TITLE_2 + "," + MOVIE_YEAR_2, lines[1], "Должен вернуть только новый фильм");
+    }
+
+    @Test
+    void exportMovies_withGzip_returnsCompressedBody() throws Exception {
+        createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(MOVIES_ENDPOINT + "/export"))
+                .header("Accept-Encoding", "gzip").GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(STATUS_OK, response.statusCode(), "Должен вернуть 200");
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(""), "Ответ должен быть сжат");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.contains(MOVIE_TITLE_1), "Выгрузка должна содержать фильм");
+        }
+    }
+
+    @Test
+    void exportMovies_withInvalidFormat_returns400() throws Exception {
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "/export?format=xml"));
+
+        assertStatusCode(response, STATUS_BAD_REQUEST, "Должен вернуть 400 при неизвестном формате");
+        assertErrorResponse(response);
+    }
+
+    @Test
+    void getStats_returnsCountsByYearAndDecade() throws Exception {
+        createMovie(MOVIE_TITLE_1, MOVIE_YEAR_1);
+        createMovie(MOVIE_TITLE_2, MOVIE_YEAR_2);
+        HttpResponse<String> createResponse = createMovie(MOVIE_TITLE_3, MOVIE_YEAR_3);
+        createMovie("Ещё один", MOVIE_YEAR_3);
+        deleteMovie(GSON.fromJson(createResponse.body(), Movie.class).getId());
+
+        HttpResponse<String> response = sendRequest(createGetRequest(MOVIES_ENDPOINT + "/stats"));
+
+        assertStatusCode(response, STATUS_OK, "GET /movies/stats должен вернуть 200");
+        assertContentType(response);
+        MoviesStats stats = GSON.fromJson(response.body(), MoviesStats.class);
+        assertEquals(3, stats.getTotal(), "Должно быть 3 фильма");
+        assertEquals(1, stats.getByYear().get(MOVIE_YEAR_1), "Должен быть 1 фильм " + MOVIE_YEAR_1 + " года");
+        assertEquals(1, stats.getByYear().get(MOVIE_YEAR_3), "Удалённый фильм не должен учитываться");
+        assertEquals(2, stats.getByDecade().get(2010), "Должно быть 2 фильма 2010-х");
+        assertEquals(1, stats.getByDecade().get(2020), "Должен быть 1 фильм 2020-х");
+    }
+
+    @Test
+    void healthLive_returns200() throws Exception {
+        HttpResponse<String> response = sendRequest(createGetRequest(BASE_URL + "/health/live"));
+
+        assertStatusCode(response, STATUS_OK, "GET /health/live должен вернуть 200");
+        assertTrue(response.body().contains("\"UP\""), "Статус должен быть UP");
+    }
+
+    @Test
+    void healthReady_afterStart_returns200() throws Exception {
+        HttpResponse<String> response = sendRequest(createGetRequest(BASE_URL + "/health/ready"));
+
+        assertStatusCode(response, STATUS_OK, "GET /health/ready после запуска должен вернуть 200");
+        assertTrue(server.isReady(), "Сервер должен быть готов");
+    }
 }
\ No newline at end of file
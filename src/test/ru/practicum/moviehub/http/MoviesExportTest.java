@@ -0,0 +1,118 @@
+package ru.practicum.moviehub.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.store.InMemoryMoviesStore;
+import ru.practicum.moviehub.store.MoviesStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoviesExportTest {
+    private static final int LARGE_CATALOGUE_SIZE = 200_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(3);
+
+    private MoviesServer server;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(Duration.ZERO);
+        }
+    }
+
+    private String startServer(MoviesStore store) {
+        server = new MoviesServer(store, 0);
+        server.start();
+        return "http://localhost:" + server.getPort();
+    }
+
+    private HttpResponse<String> get(String url, String acceptEncoding) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(URI.create(url)).timeout(REQUEST_TIMEOUT).GET();
+        if (acceptEncoding != null) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stalledExportClient_doesNotBlockOtherRequests() throws Exception {
+        MoviesStore store = new InMemoryMoviesStore();
+        for (int i = 0; i < LARGE_CATALOGUE_SIZE; i++) {
+            store.addMovie(new Movie(0, "Фильм " + i, 1900 + i % 100));
+        }
+        String baseUrl = startServer(store);
+
+        // Клиент запрашивает выгрузку и перестаёт читать, как только она началась
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("GET /movies/export HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            assertTrue(in.read() != -1, "Выгрузка должна начаться");
+
+            HttpResponse<String> live = get(baseUrl + "/health/live", null);
+            assertEquals(200, live.statusCode(), "/health/live должен отвечать во время выгрузки");
+            HttpResponse<String> movie = get(baseUrl + "/movies/1", null);
+            assertEquals(200, movie.statusCode(), "Остальные запросы должны обрабатываться во время выгрузки");
+        }
+    }
+
+    @Test
+    void failureAfterHeaders_abortsResponse() {
+        MoviesStore store = new InMemoryMoviesStore() {
+            @Override
+            public synchronized List<Movie> getMoviesSinceId(long sinceId) {
+                // Фильм без данных ломает кодирование CSV уже после отправки заголовков
+                return Arrays.asList(new Movie(1, "Фильм", 2000), null);
+            }
+        };
+        String baseUrl = startServer(store);
+
+        assertThrows(IOException.class, () -> get(baseUrl + "/movies/export?format=csv", null),
+                "Оборванная выгрузка не должна выглядеть как полный ответ");
+    }
+
+    @Test
+    void gzipWithZeroQuality_isNotUsed() throws Exception {
+        MoviesStore store = new InMemoryMoviesStore();
+        store.addMovie(new Movie(0, "Фильм", 2000));
+        String baseUrl = startServer(store);
+
+        HttpResponse<String> response = get(baseUrl + "/movies/export", "gzip;q=0, identity");
+
+        assertEquals(200, response.statusCode(), "Должен вернуть 200");
+        assertFalse(response.headers().firstValue("Content-Encoding").isPresent(), "Ответ не должен быть сжат");
+        assertEquals("Accept-Encoding", response.headers().firstValue("Vary").orElse(""),
+                "Ответ должен зависеть от Accept-Encoding");
+        assertTrue(response.body().contains("Фильм"), "Выгрузка должна содержать фильм");
+    }
+
+    @Test
+    void acceptsGzip_respectsQualityValues() {
+        assertTrue(MoviesExportHandler.acceptsGzip("gzip, deflate"), "gzip без q допустим");
+        assertTrue(MoviesExportHandler.acceptsGzip("deflate;q=1, GZIP;q=0.5"), "gzip с ненулевым q допустим");
+        assertTrue(MoviesExportHandler.acceptsGzip("*"), "* допускает gzip");
+        assertFalse(MoviesExportHandler.acceptsGzip("gzip;q=0"), "q=0 запрещает gzip");
+        assertFalse(MoviesExportHandler.acceptsGzip("*;q=1, gzip;q=0"), "Явный gzip важнее, чем *");
+        assertFalse(MoviesExportHandler.acceptsGzip("deflate"), "gzip не указан");
+        assertFalse(MoviesExportHandler.acceptsGzip(null), "Заголовка нет");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package ru.practicum.moviehub.http;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
+import ru.practicum.moviehub.store.InMemoryMoviesStore;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.moviehub.ConcurrentRunner.runConcurrently;
+
+public class MoviesServerConcurrencyTest {
+    private static final Gson GSON = new GsonBuilder().create();
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final long SEED = 20240601L;
+    private static final int TIMEOUT_SECONDS = 60;
+
+    private MoviesServer server;
+    private HttpClient client;
+    private String moviesEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        // Порт 0 - сервер получает свободный порт и не конфликтует с другими тестами.
+        // Потоков обработки не меньше, чем клиентских, чтобы запросы действительно выполнялись параллельно
+        server = new MoviesServer(new InMemoryMoviesStore(), 0, BaseHttpHandler.DEFAULT_MAX_BODY_SIZE, THREADS);
+        server.start();
+        moviesEndpoint = "http://localhost:" + server.getPort() + "/movies";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(Duration.ZERO);
+        }
+    }
+
+    private HttpResponse<String> createMovie(String title, int year) throws Exception {
+        String json = String.format("{\"title\":\"%s\",\"year\":%d}", title, year);
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(moviesEndpoint))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private int delete(long id) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(moviesEndpoint + "/" + id)).DELETE().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    void concurrentPosts_createMoviesWithUniqueIds() throws Exception {
+        List<List<Long>> created = runConcurrently(THREADS, TIMEOUT_SECONDS, thread -> {
+            Random random = new Random(SEED + thread);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                HttpResponse<String> response = createMovie("Фильм " + thread + "-" + i, 1900 + random.nextInt(100));
+                assertEquals(201, response.statusCode(), "POST /movies должен вернуть 201");
+                ids.add(GSON.fromJson(response.body(), Movie.class).getId());
+            }
+            return ids;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        for (List<Long> threadIds : created) {
+            for (long id : threadIds) {
+                assertTrue(ids.add(id), "ID " + id + " выдан дважды");
+            }
+        }
+
+        int expected = THREADS * REQUESTS_PER_THREAD;
+        List<Movie> movies = GSON.fromJson(get(moviesEndpoint).body(), new ListOfMoviesTypeToken().getType());
+        assertEquals(expected, movies.size(), "Ни один фильм не должен потеряться");
+        MoviesStats stats = GSON.fromJson(get(moviesEndpoint + "/stats").body(), MoviesStats.class);
+        assertEquals(expected, stats.getTotal(), "Статистика должна учитывать все фильмы");
+    }
+
+    @Test
+    void concurrentDeletesOfSameMovie_return204ExactlyOnce() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            long id = GSON.fromJson(createMovie("Фильм", 2000).body(), Movie.class).getId();
+
+            List<Integer> statuses = runConcurrently(THREADS, TIMEOUT_SECONDS, thread -> delete(id));
+
+            assertEquals(1, Collections.frequency(statuses, 204), "Ровно одно удаление должно вернуть 204");
+            assertEquals(THREADS - 1, Collections.frequency(statuses, 404), "Остальные удаления должны вернуть 404");
+        }
+    }
+}
\ No newline at end of file
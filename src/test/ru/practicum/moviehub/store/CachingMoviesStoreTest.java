@@ -0,0 +1,92 @@
+package ru.practicum.moviehub.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingMoviesStoreTest {
+    private static final int MAX_ENTRIES = 4;
+    private static final long MAX_WEIGHT = 1_000;
+
+    private CountingMoviesStore backend;
+    private CachingMoviesStore cache;
+
+    @BeforeEach
+    void setUp() {
+        backend = new CountingMoviesStore();
+        cache = new CachingMoviesStore(backend, MAX_ENTRIES, MAX_WEIGHT, movie -> 100);
+    }
+
+    private long addMovie(String title) {
+        return cache.addMovie(new Movie(0, title, 2000)).getId();
+    }
+
+    @Test
+    void getMovieById_secondRead_isServedFromCache() {
+        long id = addMovie("Фильм");
+
+        Movie first = cache.getMovieById(id);
+        Movie second = cache.getMovieById(id);
+
+        assertSame(first, second, "Должен вернуть тот же фильм");
+        assertEquals(1, backend.loads, "Хранилище должно читаться только при промахе");
+        CacheStats stats = cache.getCacheStats();
+        assertEquals(1, stats.getHitCount(), "Должно быть одно попадание");
+        assertEquals(1, stats.getMissCount(), "Должен быть один промах");
+        assertEquals(0.5, stats.getHitRate(), "Доля попаданий должна быть 0.5");
+    }
+
+    @Test
+    void deleteMovie_invalidatesCachedMovie() {
+        long id = addMovie("Фильм");
+        cache.getMovieById(id);
+
+        assertTrue(cache.deleteMovie(id), "Фильм должен быть удалён");
+
+        assertNull(cache.getMovieById(id), "Удалённый фильм не должен возвращаться из кэша");
+        assertEquals(0, cache.size(), "Кэш должен быть пуст");
+    }
+
+    @Test
+    void eviction_keepsFrequentlyReadMoviesOverOneTimeReads() {
+        long hot = addMovie("Популярный");
+        cache.getMovieById(hot);
+        cache.getMovieById(hot);
+
+        for (int i = 0; i < MAX_ENTRIES * 3; i++) {
+            cache.getMovieById(addMovie("Разовый " + i));
+        }
+        int loadsBefore = backend.loads;
+
+        assertNotNull(cache.getMovieById(hot), "Популярный фильм должен найтись");
+        assertEquals(loadsBefore, backend.loads, "Популярный фильм не должен быть вытеснен");
+        assertEquals(MAX_ENTRIES, cache.size(), "Размер кэша не должен превышать лимит");
+        assertTrue(cache.getCacheStats().getEvictionCount() > 0, "Должны быть вытеснения");
+    }
+
+    @Test
+    void eviction_respectsWeightLimit() {
+        CachingMoviesStore weighted = new CachingMoviesStore(backend, 100, 250, movie -> 100);
+        for (int i = 0; i < 5; i++) {
+            weighted.getMovieById(weighted.addMovie(new Movie(0, "Фильм " + i, 2000)).getId());
+        }
+
+        assertEquals(2, weighted.size(), "Суммарный вес не должен превышать лимит");
+    }
+
+    private static class CountingMoviesStore extends InMemoryMoviesStore {
+        private int loads;
+
+        @Override
+        public synchronized Movie getMovieById(long id) {
+            loads++;
+            return super.getMovieById(id);
+        }
+    }
+}
\ No newline at end of file
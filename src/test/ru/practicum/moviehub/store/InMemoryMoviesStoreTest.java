@@ -0,0 +1,64 @@
+package ru.practicum.moviehub.store;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryMoviesStoreTest {
+    // Годы по краям и далеко за пределами обычного диапазона счётчиков
+    private static final int[] YEARS = {
+            Integer.MIN_VALUE, -5, 0, 1887, 1888, 2000, 2199, 2200, 100_000_000, Integer.MAX_VALUE
+    };
+
+    @Test
+    void getStats_withOutOfRangeYears_countsEveryMovieInYearOrder() {
+        MoviesStore store = new InMemoryMoviesStore();
+        for (int year : YEARS) {
+            store.addMovie(new Movie(0, "Фильм " + year, year));
+        }
+        store.addMovie(new Movie(0, "Ещё один", Integer.MIN_VALUE));
+
+        MoviesStats stats = store.getStats();
+
+        assertEquals(YEARS.length + 1, stats.getTotal(), "Должны учитываться все фильмы");
+        assertEquals(YEARS.length + 1, store.getAllMovies().size(), "Каталог должен содержать все фильмы");
+        List<Integer> years = new ArrayList<>(stats.getByYear().keySet());
+        for (int i = 0; i < YEARS.length; i++) {
+            assertEquals(YEARS[i], years.get(i), "Годы должны идти по возрастанию");
+        }
+        assertEquals(2, stats.getByYear().get(Integer.MIN_VALUE), "Фильмы одного года должны суммироваться");
+        assertEquals(Integer.MIN_VALUE, stats.getByDecade().keySet().iterator().next(),
+                "Десятилетие Integer.MIN_VALUE не должно переполняться");
+        assertEquals(stats.getTotal(), sum(stats.getByDecade()), "Сумма по десятилетиям должна совпадать с итогом");
+        assertEquals(2, store.getMoviesByYear(Integer.MIN_VALUE).size(), "Индекс по году должен содержать фильмы");
+    }
+
+    @Test
+    void deleteMovie_withOutOfRangeYears_removesThemFromStats() {
+        MoviesStore store = new InMemoryMoviesStore();
+        List<Long> ids = new ArrayList<>();
+        for (int year : YEARS) {
+            ids.add(store.addMovie(new Movie(0, "Фильм " + year, year)).getId());
+        }
+
+        for (long id : ids) {
+            assertTrue(store.deleteMovie(id), "Фильм должен быть удалён");
+        }
+
+        MoviesStats stats = store.getStats();
+        assertEquals(0, stats.getTotal(), "Итог должен обнулиться");
+        assertTrue(stats.getByYear().isEmpty(), "Не должно остаться годов без фильмов");
+        assertTrue(stats.getByDecade().isEmpty(), "Не должно остаться десятилетий без фильмов");
+    }
+
+    private static long sum(Map<Integer, Integer> counts) {
+        return counts.values().stream().mapToLong(Integer::longValue).sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package ru.practicum.moviehub.store;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+import ru.practicum.moviehub.model.MoviesStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static ru.practicum.moviehub.ConcurrentRunner.runConcurrently;
+
+public class MoviesStoreConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final long[] SEEDS = {1L, 42L, 2024L, 31337L, 987654321L};
+    private static final int TIMEOUT_SECONDS = 30;
+
+    private enum OperationType { ADD, GET, DELETE }
+
+    // Одна операция истории: интервал [invokedAt, respondedAt] в реальном времени и результат
+    private static class Operation {
+        private final OperationType type;
+        private final long id;
+        private final boolean result;
+        private final long invokedAt;
+        private final long respondedAt;
+
+        private Operation(OperationType type, long id, boolean result, long invokedAt, long respondedAt) {
+            this.type = type;
+            this.id = id;
+            this.result = result;
+            this.invokedAt = invokedAt;
+            this.respondedAt = respondedAt;
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + id + ")=" + result + " [" + invokedAt + ", " + respondedAt + "]";
+        }
+    }
+
+    @Test
+    void concurrentAdds_assignUniqueIdsAndLoseNothing() throws Exception {
+        MoviesStore store = new InMemoryMoviesStore();
+        List<List<Movie>> added = runConcurrently(THREADS, TIMEOUT_SECONDS, thread -> {
+            List<Movie> movies = new ArrayList<>(OPERATIONS_PER_THREAD);
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                movies.add(store.addMovie(new Movie(0, "Фильм " + thread + "-" + i, 1900 + i % 100)));
+            }
+            return movies;
+        });
+
+        int expected = THREADS * OPERATIONS_PER_THREAD;
+        Set<Long> ids = new HashSet<>();
+        for (List<Movie> movies : added) {
+            for (Movie movie : movies) {
+                assertTrue(ids.add(movie.getId()), "ID " + movie.getId() + " выдан дважды");
+                assertSame(movie, store.getMovieById(movie.getId()), "Фильм " + movie.getId() + " потерян");
+            }
+        }
+        assertEquals(expected, ids.size(), "Все фильмы должны получить ID");
+        assertEquals(expected, store.getAllMovies().size(), "Ни одна запись не должна потеряться");
+        assertEquals(expected, store.getMoviesSorted(MovieSort.TITLE, false, 0).size(), "Индекс по названию неполон");
+        assertEquals(expected, store.getMoviesSorted(MovieSort.YEAR, false, 0).size(), "Индекс по году неполон");
+        assertEquals(expected, store.getStats().getTotal(), "Счётчики расходятся с каталогом");
+    }
+
+    @Test
+    void concurrentDeletesOfSameMovie_succeedExactlyOnce() throws Exception {
+        MoviesStore store = new InMemoryMoviesStore();
+        for (int round = 0; round < 200; round++) {
+            long id = store.addMovie(new Movie(0, "Фильм", 2000)).getId();
+            List<Boolean> results = runConcurrently(THREADS, TIMEOUT_SECONDS, thread -> store.deleteMovie(id));
+            assertEquals(1, Collections.frequency(results, true), "Удаление должно удаться ровно один раз, раунд " + round);
+        }
+        assertEquals(0, store.getStats().getTotal(), "Все фильмы должны быть удалены");
+    }
+
+    @Test
+    void randomizedHistories_inMemoryStore_areLinearizable() throws Exception {
+        for (long seed : SEEDS) {
+            checkRandomizedHistory(backend -> backend, seed);
+        }
+    }
+
+    @Test
+    void randomizedHistories_cachingStore_areLinearizable() throws Exception {
+        for (long seed : SEEDS) {
+            checkRandomizedHistory(backend -> new CachingMoviesStore(backend, 16, 16 * 128), seed);
+        }
+    }
+
+    // Каждый поток выполняет случайную последовательность add/get/delete над общими ID.
+    // Операции и задержки внутри хранилища задаются seed, поэтому при падении его достаточно
+    // повторить, чтобы получить ту же нагрузку.
+    private void checkRandomizedHistory(UnaryOperator<MoviesStore> decorator, long seed) throws Exception {
+        MoviesStore store = decorator.apply(new JitteryMoviesStore(new InMemoryMoviesStore()));
+        List<Long> knownIds = new CopyOnWriteArrayList<>();
+
+        List<List<Operation>> histories = runConcurrently(THREADS, TIMEOUT_SECONDS, thread -> {
+            Random random = new Random(seed * 31 + thread);
+            JitteryMoviesStore.JITTER.set(new Random(seed * 17 + thread));
+            List<Operation> history = new ArrayList<>(OPERATIONS_PER_THREAD);
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                int choice = random.nextInt(10);
+                if (choice < 3 || knownIds.isEmpty()) {
+                    long invokedAt = System.nanoTime();
+                    Movie movie = store.addMovie(new Movie(0, "Фильм " + random.nextInt(1000), 1900 + random.nextInt(100)));
+                    long respondedAt = System.nanoTime();
+                    history.add(new Operation(OperationType.ADD, movie.getId(), true, invokedAt, respondedAt));
+                    knownIds.add(movie.getId());
+                } else {
+                    // Чаще обращаемся к недавним ID, чтобы операции над одним фильмом пересекались
+                    int size = knownIds.size();
+                    long id = knownIds.get(Math.max(0, size - 1 - random.nextInt(Math.min(size, 32))));
+                    OperationType type = choice < 8 ? OperationType.GET : OperationType.DELETE;
+                    long invokedAt = System.nanoTime();
+                    boolean result = type == OperationType.GET
+                            ? store.getMovieById(id) != null
+                            : store.deleteMovie(id);
+                    long respondedAt = System.nanoTime();
+                    history.add(new Operation(type, id, result, invokedAt, respondedAt));
+                }
+                if (random.nextInt(16) == 0) {
+                    Thread.yield();
+                }
+            }
+            return history;
+        });
+
+        Map<Long, List<Operation>> byId = new HashMap<>();
+        for (List<Operation> history : histories) {
+            for (Operation operation : history) {
+                byId.computeIfAbsent(operation.id, id -> new ArrayList<>()).add(operation);
+            }
+        }
+
+        long present = 0;
+        for (Map.Entry<Long, List<Operation>> entry : byId.entrySet()) {
+            checkMovieHistory(entry.getKey(), entry.getValue(), seed);
+            boolean deleted = entry.getValue().stream().anyMatch(op -> op.type == OperationType.DELETE && op.result);
+            if (!deleted) {
+                present++;
+                assertNotNull(store.getMovieById(entry.getKey()),
+                        "Фильм " + entry.getKey() + " потерян, seed=" + seed);
+            }
+        }
+        assertEquals(present, store.getAllMovies().size(), "Каталог расходится с историей, seed=" + seed);
+        assertEquals(present, store.getStats().getTotal(), "Счётчики расходятся с историей, seed=" + seed);
+    }
+
+    // Фильм проходит путь "нет -> есть -> нет": ровно одно добавление и не больше одного удачного удаления.
+    // Операция, целиком лежащая между ответом add и вызовом удачного delete, должна видеть фильм,
+    // а операция, начатая после ответа удачного delete, - не должна.
+    private void checkMovieHistory(long id, List<Operation> operations, long seed) {
+        Operation add = null;
+        Operation delete = null;
+        for (Operation operation : operations) {
+            if (operation.type == OperationType.ADD) {
+                if (add != null) {
+                    fail("ID " + id + " выдан дважды, seed=" + seed);
+                }
+                add = operation;
+            } else if (operation.type == OperationType.DELETE && operation.result) {
+                if (delete != null) {
+                    fail("Фильм " + id + " удалён дважды: " + delete + " и " + operation + ", seed=" + seed);
+                }
+                delete = operation;
+            }
+        }
+        assertNotNull(add, "Операции над ID " + id + " без добавления, seed=" + seed);
+
+        for (Operation operation : operations) {
+            if (operation.type == OperationType.ADD || operation == delete) {
+                continue;
+            }
+            boolean afterAdd = operation.invokedAt > add.respondedAt;
+            boolean beforeDelete = delete == null || operation.respondedAt < delete.invokedAt;
+            boolean afterDelete = delete != null && operation.invokedAt > delete.respondedAt;
+
+            boolean seesMovie = operation.type == OperationType.GET && operation.result;
+            if (afterAdd && beforeDelete && !seesMovie) {
+                fail("Операция " + operation + " не увидела фильм, добавленный " + add
+                        + (delete == null ? "" : " и удалённый позже " + delete) + ", seed=" + seed);
+            }
+            if (afterDelete && seesMovie) {
+                fail("Операция " + operation + " увидела фильм, удалённый " + delete + ", seed=" + seed);
+            }
+        }
+    }
+
+    // Случайно притормаживает поток до и после обращения к хранилищу, расширяя окна гонок
+    // (например, между чтением из хранилища и записью в кэш)
+    private static class JitteryMoviesStore implements MoviesStore {
+        private static final ThreadLocal<Random> JITTER = ThreadLocal.withInitial(Random::new);
+
+        private final MoviesStore delegate;
+
+        private JitteryMoviesStore(MoviesStore delegate) {
+            this.delegate = delegate;
+        }
+
+        private static void jitter() {
+            Random random = JITTER.get();
+            int choice = random.nextInt(8);
+            if (choice == 0) {
+                LockSupport.parkNanos(random.nextInt(50_000));
+            } else if (choice == 1) {
+                Thread.yield();
+            }
+        }
+
+        private static <T> T jittered(Supplier<T> operation) {
+            jitter();
+            T result = operation.get();
+            jitter();
+            return result;
+        }
+
+        @Override
+        public List<Movie> getAllMovies() {
+            return jittered(delegate::getAllMovies);
+        }
+
+        @Override
+        public Movie addMovie(Movie movie) {
+            return jittered(() -> delegate.addMovie(movie));
+        }
+
+        @Override
+        public Movie getMovieById(long id) {
+            return jittered(() -> delegate.getMovieById(id));
+        }
+
+        @Override
+        public boolean deleteMovie(long id) {
+            return jittered(() -> delegate.deleteMovie(id));
+        }
+
+        @Override
+        public List<Movie> getMoviesByYear(int year) {
+            return jittered(() -> delegate.getMoviesByYear(year));
+        }
+
+        @Override
+        public List<Movie> getMoviesSorted(MovieSort sort, boolean descending, int limit) {
+            return jittered(() -> delegate.getMoviesSorted(sort, descending, limit));
+        }
+
+        @Override
+        public List<Movie> getMoviesByYearSorted(int year, MovieSort sort, boolean descending, int limit) {
+            return jittered(() -> delegate.getMoviesByYearSorted(year, sort, descending, limit));
+        }
+
+        @Override
+        public List<Movie> getMoviesSinceId(long sinceId) {
+            return jittered(() -> delegate.getMoviesSinceId(sinceId));
+        }
+
+        @Override
+        public MoviesStats getStats() {
+            return jittered(delegate::getStats);
+        }
+    }
+}
\ No newline at end of file
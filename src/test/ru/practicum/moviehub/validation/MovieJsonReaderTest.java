@@ -0,0 +1,71 @@
+package ru.practicum.moviehub.validation;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MovieJsonReaderTest {
+
+    private static Movie read(String json) throws IOException {
+        return MovieJsonReader.read(new JsonReader(new StringReader(json)));
+    }
+
+    @Test
+    void read_fieldsInAnyOrder_buildSameMovie() throws IOException {
+        Movie first = read("{\"title\":\"Фильм\",\"year\":2000}");
+        Movie second = read("{\"year\":2000,\"title\":\"Фильм\"}");
+
+        assertEquals("Фильм", first.getTitle(), "Название должно прочитаться");
+        assertEquals(2000, first.getYear(), "Год должен прочитаться");
+        assertEquals(first.getTitle(), second.getTitle(), "Порядок полей не важен");
+        assertEquals(first.getYear(), second.getYear(), "Порядок полей не важен");
+    }
+
+    @Test
+    void read_unknownFields_areSkipped() throws IOException {
+        Movie movie = read("{\"title\":\"Фильм\",\"genres\":[\"драма\",{\"a\":1}],\"year\":2000}");
+
+        assertEquals("Фильм", movie.getTitle(), "Неизвестные поля не должны мешать чтению");
+        assertEquals(2000, movie.getYear(), "Неизвестные поля не должны мешать чтению");
+    }
+
+    @Test
+    void read_invalidField_failsWithSingleError() {
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> read("{\"title\":\"\",\"year\":1000}"));
+
+        assertEquals(List.of(MovieValidator.checkTitle("")), e.getErrors(),
+                "Чтение прекращается на первом нарушении");
+    }
+
+    @Test
+    void read_nullOrMissingFields_failWithAllErrors() {
+        ValidationException nulls = assertThrows(ValidationException.class,
+                () -> read("{\"title\":null,\"year\":null}"));
+        ValidationException missing = assertThrows(ValidationException.class, () -> read("{}"));
+
+        List<String> expected = MovieValidator.validate(new Movie());
+        assertEquals(expected, nulls.getErrors(), "null равносилен отсутствию поля");
+        assertEquals(expected, missing.getErrors(), "Отсутствующие поля проверяются общими правилами");
+    }
+
+    @Test
+    void read_nonObjectBody_isRejected() {
+        assertThrows(IllegalStateException.class, () -> read("[]"), "Массив вместо объекта");
+        assertThrows(IllegalStateException.class, () -> read("\"Фильм\""), "Строка вместо объекта");
+    }
+
+    @Test
+    void read_trailingData_isRejected() {
+        assertThrows(MalformedJsonException.class,
+                () -> read("{\"title\":\"Фильм\",\"year\":2000} {}"), "Данные после объекта недопустимы");
+    }
+}
\ No newline at end of file
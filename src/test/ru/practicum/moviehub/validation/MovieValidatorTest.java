@@ -0,0 +1,74 @@
+package ru.practicum.moviehub.validation;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MovieValidatorTest {
+
+    @Test
+    void checkTitle_nullEmptyOrBlank_isRejected() {
+        assertNotNull(MovieValidator.checkTitle(null), "null-название должно отклоняться");
+        assertNotNull(MovieValidator.checkTitle(""), "Пустое название должно отклоняться");
+        assertNotNull(MovieValidator.checkTitle(" \t\n"), "Название из пробелов должно отклоняться");
+    }
+
+    @Test
+    void checkTitle_controlCharactersOnly_isRejected() {
+        assertNotNull(MovieValidator.checkTitle("\u0001"), "Название из управляющего символа должно отклоняться");
+        assertNotNull(MovieValidator.checkTitle("\u0000\u0007"), "Название из управляющих символов должно отклоняться");
+    }
+
+    @Test
+    void checkTitle_unicodeSpace_isAccepted() {
+        // Правило совпадает с trim(): пробелы вне ASCII не обрезаются
+        assertNull(MovieValidator.checkTitle("\u2003"), "U+2003 не считается пустым названием");
+    }
+
+    @Test
+    void checkTitle_lengthBoundary() {
+        String longest = "a".repeat(MovieValidator.MAX_TITLE_LENGTH);
+        assertNull(MovieValidator.checkTitle(longest), "Название предельной длины допустимо");
+        assertNotNull(MovieValidator.checkTitle(longest + "a"), "Название длиннее предела должно отклоняться");
+    }
+
+    @Test
+    void checkYear_boundaries() {
+        int maxYear = Year.now().getValue() + 1;
+        assertNotNull(MovieValidator.checkYear(MovieValidator.MIN_YEAR - 1), "Год до первого фильма недопустим");
+        assertNull(MovieValidator.checkYear(MovieValidator.MIN_YEAR), "Год первого фильма допустим");
+        assertNull(MovieValidator.checkYear(maxYear), "Следующий год допустим");
+        assertNotNull(MovieValidator.checkYear(maxYear + 1), "Год позже следующего недопустим");
+        assertNotNull(MovieValidator.checkYear(Integer.MIN_VALUE), "Крайнее значение должно отклоняться");
+        assertNotNull(MovieValidator.checkYear(Integer.MAX_VALUE), "Крайнее значение должно отклоняться");
+    }
+
+    @Test
+    void maxYear_isNextYearAndStableBetweenCalls() {
+        int first = MovieValidator.maxYear();
+        int second = MovieValidator.maxYear();
+
+        assertEquals(Year.now().getValue() + 1, first, "Граница - следующий год");
+        assertEquals(first, second, "Граница берётся из кэша");
+    }
+
+    @Test
+    void validate_validMovie_returnsNoErrors() {
+        assertTrue(MovieValidator.validate(new Movie(0, "Фильм", 2000)).isEmpty(), "Ошибок быть не должно");
+    }
+
+    @Test
+    void validate_collectsAllErrorsInFieldOrder() {
+        List<String> errors = MovieValidator.validate(new Movie(0, "", 1000));
+
+        assertEquals(List.of(MovieValidator.checkTitle(""), MovieValidator.checkYear(1000)), errors,
+                "Должны вернуться обе ошибки: сначала название, затем год");
+    }
+}
\ No newline at end of file